@@ -3,12 +3,15 @@ package org.myprojecticaro;
 
 import org.myprojecticaro.component.RequestScopedBean;
 import org.myprojecticaro.component.SimpleFormatter;
+import org.myprojecticaro.component.TenantSettings;
 import org.myprojecticaro.config.AppConfig;
 import org.myprojecticaro.context.ApplicationContext;
 import org.myprojecticaro.service.MessageService;
 import org.myprojecticaro.service.NotificationService;
 import org.myprojecticaro.service.RegistrationService;
 
+import java.util.Properties;
+
 public class Application {
 
     public static void main(String[] args) {
@@ -28,6 +31,16 @@ public class Application {
 
         System.out.println("Same instance? " + (r1 == r2));
 
+        Properties tenantProperties = new Properties();
+        tenantProperties.setProperty("tenant.id", "acme");
+        ApplicationContext tenant = context.createChild(tenantProperties);
+
+        System.out.println("Tenant: " + tenant.getBean(TenantSettings.class).getTenantId()
+                + " (root: " + context.getBean(TenantSettings.class).getTenantId() + ")");
+        System.out.println("Shared singleton? "
+                + (tenant.getBean(MessageService.class) == context.getBean(MessageService.class)));
+        tenant.close();
+
         AppConfig config = new AppConfig();
         SimpleFormatter simpleFormatter = config.simpleFormatter();
         context.registerBean(SimpleFormatter.class, simpleFormatter);
@@ -0,0 +1,21 @@
+package org.myprojecticaro.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a no-arg method of a singleton bean to be invoked repeatedly during the warm-up
+ * phase of the {@link org.myprojecticaro.context.ApplicationContext}, before the context
+ * reports itself ready.
+ * <p>
+ * Warm-up methods should exercise the bean's hot paths without side effects, so the JIT
+ * compiles them before the first real request arrives.
+ * With {@code context.warmup.threads} greater than one, they are invoked concurrently from
+ * several threads and must therefore be thread-safe.
+ * </p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Warmup { }
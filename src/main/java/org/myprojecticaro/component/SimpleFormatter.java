@@ -1,10 +1,16 @@
 package org.myprojecticaro.component;
 
 import org.myprojecticaro.annotations.Component;
+import org.myprojecticaro.annotations.Warmup;
 
 @Component
 public class SimpleFormatter {
     public String format(String message) {
         return "[Formatted] " + message;
     }
-}
\ No newline at end of file
+
+    @Warmup
+    public void warmup() {
+        format("warmup");
+    }
+}
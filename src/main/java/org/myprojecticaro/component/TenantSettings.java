@@ -0,0 +1,23 @@
+package org.myprojecticaro.component;
+
+import org.myprojecticaro.annotations.Component;
+import org.myprojecticaro.annotations.Scope;
+import org.myprojecticaro.annotations.Value;
+
+/**
+ * {@code TenantSettings} is instantiated once per context: the root context holds the
+ * default tenant, and each child context created via
+ * {@link org.myprojecticaro.context.ApplicationContext#createChild(java.util.Properties)}
+ * gets its own instance bound to the child's {@code tenant.id} property.
+ */
+@Component
+@Scope("tenant")
+public class TenantSettings {
+
+    @Value("tenant.id")
+    private String tenantId;
+
+    public String getTenantId() {
+        return tenantId;
+    }
+}
@@ -2,13 +2,21 @@ package org.myprojecticaro.context;
 
 
 import org.myprojecticaro.annotations.*;
+import org.myprojecticaro.events.ContextReadyEvent;
 import org.myprojecticaro.events.EventPublisher;
 import org.myprojecticaro.events.EventListener;
 
 import java.io.File;
 import java.io.InputStream;
+import java.lang.reflect.Method;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 
 /**
@@ -20,17 +28,40 @@ import java.util.*;
  *   <li>Component scanning via reflection</li>
  *   <li>Auto-configuration using a custom .factories file</li>
  *   <li>Field-based dependency injection via {@code @Autowired}</li>
+ *   <li>Lightweight child contexts via {@link #createChild(Properties)}</li>
  * </ul>
  * All discovered and instantiated beans are stored as singletons in a simple map.
  * </p>
+ * <p>
+ * A child context reuses the bean definitions resolved by its root and resolves shared
+ * singletons through its parent. It only instantiates beans annotated with
+ * {@code @Scope("tenant")}, injecting them against its own properties, which fall back to
+ * the parent's. Closing a child destroys its tenant beans and leaves the parent untouched.
+ * Shared singletons are created once for all tenants, so injecting a tenant-scoped bean into
+ * one is rejected at refresh; tenant and prototype beans may depend on tenant beans.
+ * </p>
+ * <p>
+ * When {@code context.warmup.enabled} is {@code true}, a root context ends its refresh with a
+ * warm-up phase that repeatedly runs {@code @Warmup} bean methods and the container's own
+ * {@code getBean}, injection and event dispatch paths. Only then does {@link #isReady()} turn
+ * {@code true} and a {@link ContextReadyEvent} get published.
+ * </p>
  */
 public class ApplicationContext {
 
-    private final Map<Class<?>, Object> beans = new HashMap<>();
-    private final Properties properties = new Properties();
+    private final ApplicationContext parent;
+    private final Map<Class<?>, BeanDefinition> beanDefinitions;
+    private final List<BeanDefinition> tenantDefinitions;
+    private final Properties properties;
 
+    private final Map<Class<?>, Object> beans = new HashMap<>();
     private final Map<Class<?>, Object> singletonBeans = new HashMap<>();
-    private final Set<Class<?>> prototypeBeans = new HashSet<>();
+
+    // Keeps the JIT from discarding the results of warm-up iterations as dead code.
+    private static volatile long warmupBlackhole;
+
+    private WarmupReport warmupReport = WarmupReport.skipped();
+    private volatile boolean ready;
 
     /**
      * Initializes the application context:
@@ -38,12 +69,17 @@ public class ApplicationContext {
      *   <li>Scans the specified base package for {@code @Component}-annotated classes</li>
      *   <li>Loads additional beans via custom auto-configuration</li>
      *   <li>Injects dependencies annotated with {@code @Autowired}</li>
+     *   <li>Optionally warms up beans and container paths, then reports ready</li>
      * </ol>
      *
      * @param basePackage the package to scan for component classes
      * @throws RuntimeException if the initialization fails
      */
     public ApplicationContext(String basePackage) {
+        this.parent = null;
+        this.beanDefinitions = new HashMap<>();
+        this.tenantDefinitions = new ArrayList<>();
+        this.properties = new Properties();
         try {
             scanPackage(basePackage);
             loadAutoConfigurations();
@@ -51,22 +87,230 @@ public class ApplicationContext {
             loadProperties();
             injectDependencies();
             invokePostConstructMethods();
+            registerListeners();
+            warmupReport = warmUp();
+            markReady();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to initialize context", e);
+        }
+    }
 
-            EventPublisher publisher = (EventPublisher) singletonBeans.get(EventPublisher.class);
-            if (publisher == null) {
-                throw new RuntimeException("EventPublisher not found in context.");
+    /**
+     * Initializes a child context on top of an already refreshed parent.
+     * <p>
+     * No scanning or reflection happens here: the parent's bean definitions are shared
+     * as-is and only the tenant-scoped beans are instantiated, injected and initialized.
+     * </p>
+     *
+     * @param parent the context providing shared singletons and bean definitions
+     * @param overrides properties that take precedence over the parent's
+     * @throws RuntimeException if the initialization fails
+     */
+    private ApplicationContext(ApplicationContext parent, Properties overrides) {
+        this.parent = parent;
+        this.beanDefinitions = parent.beanDefinitions;
+        this.tenantDefinitions = parent.tenantDefinitions;
+        this.properties = new Properties(parent.properties);
+        this.properties.putAll(overrides);
+        try {
+            for (BeanDefinition definition : tenantDefinitions) {
+                singletonBeans.put(definition.getType(), definition.newInstance());
             }
+            beans.putAll(singletonBeans);
+            injectDependencies();
+            invokePostConstructMethods();
+            registerListeners();
+            ready = true;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to initialize child context", e);
+        }
+    }
 
-            beans.values().forEach(bean -> {
-                if (bean instanceof EventListener<?> listener) {
-                    publisher.registerListener(listener);
-                    System.out.println("[EVENT] Registered listener: " + bean.getClass().getSimpleName());
+    /**
+     * Creates a child context that shares this context's singletons and metadata
+     * and holds its own instances of the tenant-scoped beans.
+     *
+     * @param overrides properties visible only to the child, overriding this context's
+     * @return the new child context
+     */
+    public ApplicationContext createChild(Properties overrides) {
+        return new ApplicationContext(this, overrides);
+    }
+
+    /**
+     * Creates a child context without property overrides.
+     *
+     * @return the new child context
+     * @see #createChild(Properties)
+     */
+    public ApplicationContext createChild() {
+        return createChild(new Properties());
+    }
+
+    /**
+     * @return the parent context, or {@code null} for a root context
+     */
+    public ApplicationContext getParent() {
+        return parent;
+    }
+
+    /**
+     * @return {@code true} once the refresh, including the warm-up phase, has completed
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return the outcome of the warm-up phase; empty for child contexts or when disabled
+     */
+    public WarmupReport getWarmupReport() {
+        return warmupReport;
+    }
+
+    private void markReady() {
+        ready = true;
+        System.out.println("[READY] Context ready after " + warmupReport.durationMillis() + " ms of warm-up");
+        getBean(EventPublisher.class).publish(new ContextReadyEvent(warmupReport));
+    }
+
+    /**
+     * Runs warm-up iterations until {@code context.warmup.iterations} are done or
+     * {@code context.warmup.max-ms} has elapsed, spread over {@code context.warmup.threads}
+     * daemon threads. {@code context.warmup.samples} iterations are timed individually before
+     * and after, and their median and 99th percentile are reported.
+     *
+     * @return the warm-up report
+     * @throws Exception if a {@code @Warmup} method fails
+     */
+    private WarmupReport warmUp() throws Exception {
+        if (!Boolean.parseBoolean(properties.getProperty("context.warmup.enabled", "false"))) {
+            return WarmupReport.skipped();
+        }
+        long iterations = Long.parseLong(properties.getProperty("context.warmup.iterations", "10000"));
+        long maxMillis = Long.parseLong(properties.getProperty("context.warmup.max-ms", "2000"));
+        int threads = Integer.parseInt(properties.getProperty("context.warmup.threads", "1"));
+        int samples = Integer.parseInt(properties.getProperty("context.warmup.samples", "50"));
+
+        EventPublisher publisher = getBean(EventPublisher.class);
+        Object probeEvent = new Object();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(maxMillis);
+
+        long[] cold = sampleWarmupIterations(publisher, probeEvent, samples);
+
+        long completed = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "context-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<Long> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Long>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                long share = iterations / threads + (i < iterations % threads ? 1 : 0);
+                results.add(completion.submit(() -> {
+                    long done = 0;
+                    long sink = 0;
+                    while (done < share && System.nanoTime() < deadline
+                            && !Thread.currentThread().isInterrupted()) {
+                        sink += runWarmupIteration(publisher, probeEvent);
+                        done++;
+                    }
+                    warmupBlackhole = sink;
+                    return done;
+                }));
+            }
+            // Collected in completion order, so the first failing worker aborts the others.
+            for (int i = 0; i < results.size(); i++) {
+                completed += completion.take().get();
+            }
+        } finally {
+            results.forEach(result -> result.cancel(true));
+            executor.shutdownNow();
+        }
+
+        long[] warm = sampleWarmupIterations(publisher, probeEvent, samples);
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        WarmupReport report = new WarmupReport(completed, durationMillis,
+                percentile(cold, 50), percentile(cold, 99), percentile(warm, 50), percentile(warm, 99));
+        System.out.println("[WARMUP] Ran " + completed + " iterations on " + threads + " thread(s) in "
+                + durationMillis + " ms; iteration p50 " + report.coldP50Nanos() / 1000 + " -> "
+                + report.warmP50Nanos() / 1000 + " us, p99 " + report.coldP99Nanos() / 1000 + " -> "
+                + report.warmP99Nanos() / 1000 + " us (p50 " + String.format("%.1fx", report.p50Speedup()) + ")");
+        return report;
+    }
+
+    /**
+     * Times the given number of warm-up iterations one by one.
+     *
+     * @return the duration of each iteration in nanoseconds, sorted ascending
+     */
+    private long[] sampleWarmupIterations(EventPublisher publisher, Object probeEvent, int count) throws Exception {
+        long[] durations = new long[count];
+        long sink = 0;
+        for (int i = 0; i < count; i++) {
+            long start = System.nanoTime();
+            sink += runWarmupIteration(publisher, probeEvent);
+            durations[i] = System.nanoTime() - start;
+        }
+        warmupBlackhole = sink;
+        Arrays.sort(durations);
+        return durations;
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * One warm-up iteration: invokes every {@code @Warmup} method, looks up every singleton,
+     * resolves every {@code @Autowired} injection point and dry-runs an event dispatch.
+     * Prototypes are skipped, since creating them may have side effects.
+     */
+    private long runWarmupIteration(EventPublisher publisher, Object probeEvent) throws Exception {
+        long sink = 0;
+        for (Object bean : singletonBeans.values()) {
+            BeanDefinition definition = beanDefinitions.get(bean.getClass());
+            for (Method method : definition.getWarmupMethods()) {
+                method.invoke(bean);
+            }
+            if (getBean(definition.getType()) == bean) {
+                sink++;
+            }
+            for (BeanDefinition.InjectionPoint point : definition.getAutowiredFields()) {
+                if (resolveDependency(point.field().getType(), point.key()) != null) {
+                    sink++;
                 }
-            });
+            }
+        }
+        return sink + publisher.dryRun(probeEvent);
+    }
 
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to initialize context", e);
+    /**
+     * Registers every {@link EventListener} bean owned by this context with the
+     * {@link EventPublisher}. A child without its own tenant-scoped publisher registers
+     * nothing, so that tenant listeners never outlive the child in the shared publisher.
+     */
+    private void registerListeners() {
+        EventPublisher publisher = (EventPublisher) singletonBeans.get(EventPublisher.class);
+        if (publisher == null) {
+            if (parent != null) return;
+            throw new RuntimeException("EventPublisher not found in context.");
         }
+
+        beans.values().forEach(bean -> {
+            if (bean instanceof EventListener<?> listener) {
+                publisher.registerListener(listener);
+                System.out.println("[EVENT] Registered listener: " + bean.getClass().getSimpleName());
+            }
+        });
     }
 
     /**
@@ -104,16 +348,19 @@ public class ApplicationContext {
                 String className = packageName + "." + file.getName().replace(".class", "");
                 Class<?> clazz = Class.forName(className);
                 if (clazz.isAnnotationPresent(Component.class)) {
-                    Scope scope = clazz.getAnnotation(Scope.class);
-                    String scopeValue = scope != null ? scope.value() : "singleton";
+                    BeanDefinition definition = BeanDefinition.of(clazz);
+                    beanDefinitions.put(clazz, definition);
 
-                    if ("prototype".equalsIgnoreCase(scopeValue)) {
-                        prototypeBeans.add(clazz);
+                    if (definition.isPrototype()) {
                         System.out.println("[SCAN] Registered prototype: " + clazz.getSimpleName());
                     } else {
-                        Object instance = clazz.getDeclaredConstructor().newInstance();
-                        singletonBeans.put(clazz, instance);
-                        System.out.println("[SCAN] Registered singleton: " + clazz.getSimpleName());
+                        singletonBeans.put(clazz, definition.newInstance());
+                        if (definition.isTenant()) {
+                            tenantDefinitions.add(definition);
+                            System.out.println("[SCAN] Registered tenant: " + clazz.getSimpleName());
+                        } else {
+                            System.out.println("[SCAN] Registered singleton: " + clazz.getSimpleName());
+                        }
                     }
                 }
             }
@@ -165,62 +412,15 @@ public class ApplicationContext {
      */
     private void injectDependencies() throws IllegalAccessException {
         for (Object bean : singletonBeans.values()) {
-            for (var field : bean.getClass().getDeclaredFields()) {
-                if (field.isAnnotationPresent(Value.class)) {
-                    String key = field.getAnnotation(Value.class).value();
-                    String value = properties.getProperty(key);
-                    System.out.println("[DEBUG] Property key: " + key + " → value: " + value);
-                    if (value != null) {
-                        field.setAccessible(true);
-                        Object casted = castValue(field.getType(), value);
-                        field.set(bean, casted);
-                        System.out.println("[VALUE] Injected property " + key + "=" + value);
-                    } else {
-                        throw new RuntimeException("Missing property: " + key);
-                    }
-                }
-
-                if (field.isAnnotationPresent(Autowired.class)) {
-                    Class<?> dependencyType = field.getType();
-                    Object dependency = null;
-
-                    if (field.isAnnotationPresent(Qualifier.class)) {
-                        String qualifierName = field.getAnnotation(Qualifier.class).value();
-                        dependency = beans.entrySet().stream()
-                                .filter(entry -> dependencyType.isAssignableFrom(entry.getKey()))
-                                .filter(entry -> qualifierName.equals(getComponentName(entry.getKey())))
-                                .map(Map.Entry::getValue)
-                                .findFirst()
-                                .orElse(null);
-                    } else {
-                        dependency = beans.entrySet().stream()
-                                .filter(entry -> dependencyType.isAssignableFrom(entry.getKey()))
-                                .map(Map.Entry::getValue)
-                                .findFirst()
-                                .orElse(null);
-                    }
-
-                    if (dependency != null) {
-                        field.setAccessible(true);
-                        field.set(bean, dependency);
-                        System.out.println("[INJECT] Injected " + dependency.getClass().getSimpleName() +
-                                " into " + bean.getClass().getSimpleName());
-                    } else {
-                        throw new RuntimeException("No bean found for type: " + dependencyType.getName());
-                    }
-                }
-            }
+            injectInto(bean, beanDefinitions.get(bean.getClass()));
         }
     }
 
     private void invokePostConstructMethods() throws Exception {
         for (Object bean : singletonBeans.values()) {
-            for (var method : bean.getClass().getDeclaredMethods()) {
-                if (method.isAnnotationPresent(PostConstruct.class)) {
-                    method.setAccessible(true);
-                    method.invoke(bean);
-                    System.out.println("[POST-CONSTRUCT] Invoked " + method.getName() + " on " + bean.getClass().getSimpleName());
-                }
+            for (Method method : beanDefinitions.get(bean.getClass()).getPostConstructMethods()) {
+                method.invoke(bean);
+                System.out.println("[POST-CONSTRUCT] Invoked " + method.getName() + " on " + bean.getClass().getSimpleName());
             }
         }
     }
@@ -238,17 +438,22 @@ public class ApplicationContext {
     }
 
     public <T> T getBean(Class<T> clazz) {
-        if (prototypeBeans.contains(clazz)) {
+        BeanDefinition definition = beanDefinitions.get(clazz);
+        if (definition != null && definition.isPrototype()) {
             try {
-                T instance = clazz.getDeclaredConstructor().newInstance();
-                injectInto(instance);
-                postConstruct(instance);
+                T instance = clazz.cast(definition.newInstance());
+                injectInto(instance, definition);
+                postConstruct(instance, definition);
                 return instance;
             } catch (Exception e) {
                 throw new RuntimeException("Failed to create prototype bean: " + clazz, e);
             }
         }
-        return clazz.cast(singletonBeans.get(clazz));
+        Object bean = singletonBeans.get(clazz);
+        if (bean == null && parent != null) {
+            return parent.getBean(clazz);
+        }
+        return clazz.cast(bean);
     }
 
     public void registerBean(Class<?> type, Object instance) {
@@ -273,48 +478,85 @@ public class ApplicationContext {
         throw new IllegalArgumentException("Unsupported type for @Value: " + type.getName());
     }
 
-    private void injectInto(Object instance) throws IllegalAccessException {
-        for (var field : instance.getClass().getDeclaredFields()) {
-            if (field.isAnnotationPresent(Autowired.class)) {
-                Class<?> dependencyType = field.getType();
-                Object dependency = singletonBeans.get(dependencyType);
-
-                if (dependency != null) {
-                    field.setAccessible(true);
-                    field.set(instance, dependency);
-                    System.out.println("[INJECT] Injected " + dependencyType.getSimpleName() + " into " + instance.getClass().getSimpleName());
-                } else {
-                    throw new RuntimeException("No bean found for type: " + dependencyType.getName());
-                }
+    /**
+     * Resolves a bean assignable to the given type, optionally matching a qualifier name.
+     * Beans owned by this context win over those of the parent chain.
+     *
+     * @param dependencyType the requested type
+     * @param qualifierName the required component name, or {@code null} for any
+     * @return the matching bean, or {@code null} if none is found
+     */
+    private Object resolveDependency(Class<?> dependencyType, String qualifierName) {
+        Object dependency = beans.entrySet().stream()
+                .filter(entry -> dependencyType.isAssignableFrom(entry.getKey()))
+                .filter(entry -> qualifierName == null || qualifierName.equals(getComponentName(entry.getKey())))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+
+        if (dependency == null && parent != null) {
+            return parent.resolveDependency(dependencyType, qualifierName);
+        }
+        return dependency;
+    }
+
+    private void injectInto(Object instance, BeanDefinition definition) throws IllegalAccessException {
+        for (BeanDefinition.InjectionPoint point : definition.getValueFields()) {
+            String key = point.key();
+            String value = properties.getProperty(key);
+            System.out.println("[DEBUG] Property key: " + key + " → value: " + value);
+            if (value != null) {
+                point.field().set(instance, castValue(point.field().getType(), value));
+                System.out.println("[VALUE] Injected property " + key + "=" + value);
+            } else {
+                throw new RuntimeException("Missing property: " + key);
+            }
+        }
+
+        for (BeanDefinition.InjectionPoint point : definition.getAutowiredFields()) {
+            Class<?> dependencyType = point.field().getType();
+            Object dependency = resolveDependency(dependencyType, point.key());
+
+            BeanDefinition dependencyDefinition = dependency != null ? beanDefinitions.get(dependency.getClass()) : null;
+            if (dependencyDefinition != null && dependencyDefinition.isTenant()
+                    && !definition.isTenant() && !definition.isPrototype()) {
+                throw new RuntimeException("Cannot inject tenant-scoped " + dependency.getClass().getSimpleName()
+                        + " into shared singleton " + instance.getClass().getSimpleName());
+            }
+
+            if (dependency != null) {
+                point.field().set(instance, dependency);
+                System.out.println("[INJECT] Injected " + dependency.getClass().getSimpleName() +
+                        " into " + instance.getClass().getSimpleName());
+            } else {
+                throw new RuntimeException("No bean found for type: " + dependencyType.getName());
             }
         }
     }
 
-    private void postConstruct(Object instance) {
-        for (var method : instance.getClass().getDeclaredMethods()) {
-            if (method.isAnnotationPresent(PostConstruct.class)) {
-                try {
-                    method.setAccessible(true);
-                    method.invoke(instance);
-                    System.out.println("[POST-CONSTRUCT] Invoked " + method.getName() + " on " + instance.getClass().getSimpleName());
-                } catch (Exception e) {
-                    throw new RuntimeException("Failed to invoke @PostConstruct on " + instance.getClass(), e);
-                }
+    private void postConstruct(Object instance, BeanDefinition definition) {
+        for (Method method : definition.getPostConstructMethods()) {
+            try {
+                method.invoke(instance);
+                System.out.println("[POST-CONSTRUCT] Invoked " + method.getName() + " on " + instance.getClass().getSimpleName());
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to invoke @PostConstruct on " + instance.getClass(), e);
             }
         }
     }
 
+    /**
+     * Invokes {@code @PreDestroy} methods on the singletons owned by this context.
+     * For a child context, only its tenant-scoped beans are destroyed.
+     */
     public void close() {
         for (Object bean : singletonBeans.values()) {
-            for (var method : bean.getClass().getDeclaredMethods()) {
-                if (method.isAnnotationPresent(PreDestroy.class)) {
-                    try {
-                        method.setAccessible(true);
-                        method.invoke(bean);
-                        System.out.println("[PRE-DESTROY] Invoked " + method.getName() + " on " + bean.getClass().getSimpleName());
-                    } catch (Exception e) {
-                        System.err.println("Failed to invoke @PreDestroy on " + bean.getClass().getSimpleName() + ": " + e.getMessage());
-                    }
+            for (Method method : beanDefinitions.get(bean.getClass()).getPreDestroyMethods()) {
+                try {
+                    method.invoke(bean);
+                    System.out.println("[PRE-DESTROY] Invoked " + method.getName() + " on " + bean.getClass().getSimpleName());
+                } catch (Exception e) {
+                    System.err.println("Failed to invoke @PreDestroy on " + bean.getClass().getSimpleName() + ": " + e.getMessage());
                 }
             }
         }
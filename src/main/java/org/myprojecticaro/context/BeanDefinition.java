@@ -0,0 +1,152 @@
+package org.myprojecticaro.context;
+
+import org.myprojecticaro.annotations.*;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * {@code BeanDefinition} holds the metadata resolved for a component class during the scan.
+ * <p>
+ * The scope, the {@code @Value}/{@code @Autowired} injection points, the lifecycle
+ * methods and the {@code @Warmup} methods are reflected once, made accessible, and then
+ * shared read-only by the root context, every child context and every prototype lookup.
+ * </p>
+ */
+final class BeanDefinition {
+
+    static final String SINGLETON = "singleton";
+    static final String PROTOTYPE = "prototype";
+    static final String TENANT = "tenant";
+
+    /**
+     * A reflected field together with its lookup key: the property key for
+     * {@code @Value}, or the qualifier name (possibly {@code null}) for {@code @Autowired}.
+     */
+    record InjectionPoint(Field field, String key) { }
+
+    private final Class<?> type;
+    private final Constructor<?> constructor;
+    private final String scope;
+    private final List<InjectionPoint> valueFields;
+    private final List<InjectionPoint> autowiredFields;
+    private final List<Method> postConstructMethods;
+    private final List<Method> preDestroyMethods;
+    private final List<Method> warmupMethods;
+
+    private BeanDefinition(Class<?> type, Constructor<?> constructor, String scope,
+                           List<InjectionPoint> valueFields, List<InjectionPoint> autowiredFields,
+                           List<Method> postConstructMethods, List<Method> preDestroyMethods,
+                           List<Method> warmupMethods) {
+        this.type = type;
+        this.constructor = constructor;
+        this.scope = scope;
+        this.valueFields = valueFields;
+        this.autowiredFields = autowiredFields;
+        this.postConstructMethods = postConstructMethods;
+        this.preDestroyMethods = preDestroyMethods;
+        this.warmupMethods = warmupMethods;
+    }
+
+    /**
+     * Reflects over the given class and builds its definition.
+     *
+     * @param type the component class
+     * @return the resolved definition
+     * @throws NoSuchMethodException if the class has no no-arg constructor
+     */
+    static BeanDefinition of(Class<?> type) throws NoSuchMethodException {
+        Constructor<?> constructor = type.getDeclaredConstructor();
+        constructor.setAccessible(true);
+
+        Scope scope = type.getAnnotation(Scope.class);
+        String scopeValue = scope != null ? scope.value().toLowerCase(Locale.ROOT) : SINGLETON;
+
+        List<InjectionPoint> valueFields = new ArrayList<>();
+        List<InjectionPoint> autowiredFields = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (field.isAnnotationPresent(Value.class)) {
+                field.setAccessible(true);
+                valueFields.add(new InjectionPoint(field, field.getAnnotation(Value.class).value()));
+            }
+            if (field.isAnnotationPresent(Autowired.class)) {
+                field.setAccessible(true);
+                Qualifier qualifier = field.getAnnotation(Qualifier.class);
+                autowiredFields.add(new InjectionPoint(field, qualifier != null ? qualifier.value() : null));
+            }
+        }
+
+        List<Method> postConstructMethods = new ArrayList<>();
+        List<Method> preDestroyMethods = new ArrayList<>();
+        List<Method> warmupMethods = new ArrayList<>();
+        for (Method method : type.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(PostConstruct.class)) {
+                method.setAccessible(true);
+                postConstructMethods.add(method);
+            }
+            if (method.isAnnotationPresent(PreDestroy.class)) {
+                method.setAccessible(true);
+                preDestroyMethods.add(method);
+            }
+            if (method.isAnnotationPresent(Warmup.class)) {
+                method.setAccessible(true);
+                warmupMethods.add(method);
+            }
+        }
+
+        return new BeanDefinition(type, constructor, scopeValue,
+                List.copyOf(valueFields), List.copyOf(autowiredFields),
+                List.copyOf(postConstructMethods), List.copyOf(preDestroyMethods),
+                List.copyOf(warmupMethods));
+    }
+
+    /**
+     * Creates a new, not yet injected, instance through the cached no-arg constructor.
+     *
+     * @return the raw bean instance
+     * @throws Exception if the constructor fails
+     */
+    Object newInstance() throws Exception {
+        return constructor.newInstance();
+    }
+
+    Class<?> getType() {
+        return type;
+    }
+
+    String getScope() {
+        return scope;
+    }
+
+    boolean isPrototype() {
+        return PROTOTYPE.equals(scope);
+    }
+
+    boolean isTenant() {
+        return TENANT.equals(scope);
+    }
+
+    List<InjectionPoint> getValueFields() {
+        return valueFields;
+    }
+
+    List<InjectionPoint> getAutowiredFields() {
+        return autowiredFields;
+    }
+
+    List<Method> getPostConstructMethods() {
+        return postConstructMethods;
+    }
+
+    List<Method> getPreDestroyMethods() {
+        return preDestroyMethods;
+    }
+
+    List<Method> getWarmupMethods() {
+        return warmupMethods;
+    }
+}
@@ -0,0 +1,34 @@
+package org.myprojecticaro.context;
+
+import java.io.Serializable;
+
+/**
+ * Outcome of the warm-up phase of an {@link ApplicationContext}.
+ * <p>
+ * Iteration latencies come from a fixed number of individually timed iterations run just
+ * before the warm-up loop (cold) and just after it (warm).
+ * </p>
+ *
+ * @param iterations the number of warm-up iterations run across all threads
+ * @param durationMillis the wall-clock time spent warming up, sampling included
+ * @param coldP50Nanos the median iteration time before warming up
+ * @param coldP99Nanos the 99th percentile iteration time before warming up
+ * @param warmP50Nanos the median iteration time after warming up
+ * @param warmP99Nanos the 99th percentile iteration time after warming up
+ */
+public record WarmupReport(long iterations, long durationMillis,
+                           long coldP50Nanos, long coldP99Nanos,
+                           long warmP50Nanos, long warmP99Nanos) implements Serializable {
+
+    static WarmupReport skipped() {
+        return new WarmupReport(0, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * @return how many times faster the median warm iteration is than the median cold one,
+     *         or {@code 1.0} if no warm-up was run
+     */
+    public double p50Speedup() {
+        return warmP50Nanos > 0 ? (double) coldP50Nanos / warmP50Nanos : 1.0;
+    }
+}
@@ -0,0 +1,23 @@
+package org.myprojecticaro.events;
+
+import org.myprojecticaro.context.WarmupReport;
+
+import java.io.Serializable;
+
+/**
+ * Published once the root {@link org.myprojecticaro.context.ApplicationContext} has finished
+ * its refresh, including the warm-up phase.
+ */
+public class ContextReadyEvent implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final WarmupReport warmupReport;
+
+    public ContextReadyEvent(WarmupReport warmupReport) {
+        this.warmupReport = warmupReport;
+    }
+
+    public WarmupReport getWarmupReport() {
+        return warmupReport;
+    }
+}
@@ -1,29 +1,157 @@
 package org.myprojecticaro.events;
 
 import org.myprojecticaro.annotations.Component;
+import org.myprojecticaro.annotations.PostConstruct;
+import org.myprojecticaro.annotations.PreDestroy;
+import org.myprojecticaro.annotations.Value;
+import org.myprojecticaro.events.journal.EventJournal;
+import org.myprojecticaro.events.journal.JavaSerializationCodec;
 
+import java.io.IOException;
 import java.lang.reflect.ParameterizedType;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * {@code EventPublisher} dispatches published events to the registered {@link EventListener}s
+ * whose generic event type matches.
+ * <p>
+ * When {@code events.journal.enabled} is {@code true}, every event is first appended to an
+ * {@link EventJournal} and each listener acknowledges it after handling. Events a listener
+ * had not acknowledged when the process stopped are replayed to it as soon as it registers.
+ * A listener registering for the first time only receives events published afterwards.
+ * A listener that throws does not stop delivery to the others; the event stays
+ * unacknowledged for it and is replayed on the next startup.
+ * </p>
+ */
 @Component
 public class EventPublisher {
 
     private final List<EventListener<?>> listeners = new ArrayList<>();
 
+    @Value("events.journal.enabled")
+    private boolean journalEnabled;
+
+    @Value("events.journal.dir")
+    private String journalDir;
+
+    @Value("events.journal.segment-bytes")
+    private int journalSegmentBytes;
+
+    @Value("events.journal.flush-interval-ms")
+    private int journalFlushIntervalMs;
+
+    @Value("events.journal.batch-size")
+    private int journalBatchSize;
+
+    private EventJournal journal;
+
+    @PostConstruct
+    public void openJournal() throws IOException {
+        if (journalEnabled) {
+            journal = new EventJournal(Path.of(journalDir), journalSegmentBytes,
+                    journalFlushIntervalMs, journalBatchSize, new JavaSerializationCodec());
+        }
+    }
+
+    @PreDestroy
+    public void closeJournal() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
     public void registerListener(EventListener<?> listener) {
         listeners.add(listener);
+        if (journal != null) {
+            replay(listener);
+        }
     }
 
     public void publish(Object event) {
+        if (journal == null) {
+            for (EventListener<?> listener : listeners) {
+                deliver(listener, event);
+            }
+            return;
+        }
+
+        long offset;
+        try {
+            offset = journal.append(event);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to journal event: " + event.getClass().getSimpleName(), e);
+        }
         for (EventListener<?> listener : listeners) {
-            Class<?> listenerEventType = resolveListenerEventType(listener);
-            if (listenerEventType != null && listenerEventType.isInstance(event)) {
-                ((EventListener<Object>) listener).onEvent(event);
+            String listenerId = listenerId(listener);
+            try {
+                deliver(listener, event);
+                journal.acknowledge(listenerId, offset);
+            } catch (RuntimeException e) {
+                journal.reject(listenerId);
+                System.err.println("[JOURNAL] " + listener.getClass().getSimpleName() + " failed on "
+                        + event.getClass().getSimpleName() + ", will replay on next startup: " + e.getMessage());
             }
         }
     }
 
+    /**
+     * Runs the listener matching of {@link #publish(Object)} without delivering or journaling
+     * the event. Used to warm up the dispatch path.
+     *
+     * @param event the event to match
+     * @return the number of listeners that would receive it
+     */
+    public int dryRun(Object event) {
+        int matches = 0;
+        for (EventListener<?> listener : listeners) {
+            if (matches(listener, event)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private void replay(EventListener<?> listener) {
+        String listenerId = listenerId(listener);
+        try {
+            journal.replay(listenerId, (offset, event) -> {
+                try {
+                    if (deliver(listener, event)) {
+                        System.out.println("[JOURNAL] Replayed " + event.getClass().getSimpleName()
+                                + " to " + listener.getClass().getSimpleName());
+                    }
+                    journal.acknowledge(listenerId, offset);
+                } catch (RuntimeException e) {
+                    journal.reject(listenerId);
+                    System.err.println("[JOURNAL] " + listener.getClass().getSimpleName() + " failed on replayed "
+                            + event.getClass().getSimpleName() + ", left unacknowledged: " + e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to replay journal for " + listenerId, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean deliver(EventListener<?> listener, Object event) {
+        if (matches(listener, event)) {
+            ((EventListener<Object>) listener).onEvent(event);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean matches(EventListener<?> listener, Object event) {
+        Class<?> listenerEventType = resolveListenerEventType(listener);
+        return listenerEventType != null && listenerEventType.isInstance(event);
+    }
+
+    private String listenerId(EventListener<?> listener) {
+        return listener.getClass().getName();
+    }
+
     private Class<?> resolveListenerEventType(EventListener<?> listener) {
         try {
             var genericInterface = listener.getClass().getGenericInterfaces()[0];
@@ -1,6 +1,10 @@
 package org.myprojecticaro.events;
 
-public class UserRegisteredEvent {
+import java.io.Serializable;
+
+public class UserRegisteredEvent implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private final String username;
 
     public UserRegisteredEvent(String username) {
@@ -0,0 +1,13 @@
+package org.myprojecticaro.events.journal;
+
+import java.io.IOException;
+
+/**
+ * Converts events to and from the byte payloads stored in the {@link EventJournal}.
+ */
+public interface EventCodec {
+
+    byte[] encode(Object event) throws IOException;
+
+    Object decode(byte[] payload) throws IOException;
+}
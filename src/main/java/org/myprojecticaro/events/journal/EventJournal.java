@@ -0,0 +1,384 @@
+package org.myprojecticaro.events.journal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * {@code EventJournal} is a durable, append-only log of published events backed by
+ * memory-mapped segment files.
+ * <p>
+ * Offsets are logical byte positions across all segments. Every listener owns a checkpoint:
+ * the offset up to which it has acknowledged events. On startup, events after a listener's
+ * checkpoint are handed back to it through {@link #replay(String, BiConsumer)}.
+ * </p>
+ * <p>
+ * A listener seen for the first time starts at the current end of the journal, and that
+ * checkpoint is written to disk before {@link #checkpoint(String)} returns: it receives only
+ * events published from now on, never the history retained for other listeners. Records that
+ * can no longer be decoded, for example after an incompatible change to an event class, are
+ * logged and skipped during replay.
+ * </p>
+ * <p>
+ * When a listener fails on an event, {@link #reject(String)} freezes its checkpoint at that
+ * event for the rest of the run, so the event and everything after it is replayed on the next
+ * startup. Delivery is therefore at-least-once.
+ * </p>
+ * <p>
+ * Durability is group-committed: a background thread forces the active segment and persists
+ * the checkpoints every {@code flushIntervalMillis}, or as soon as {@code batchSize} events
+ * have been appended since the last flush. Full segments are rolled over, and segments lying
+ * entirely below the checkpoint of every listener registered in this run are deleted during
+ * the flush. Checkpoints of listeners that no longer register are kept on disk but do not hold
+ * segments back.
+ * </p>
+ */
+public class EventJournal implements AutoCloseable {
+
+    private static final String CHECKPOINT_FILE = "checkpoints.properties";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long flushIntervalMillis;
+    private final int batchSize;
+    private final EventCodec codec;
+
+    private final List<JournalSegment> segments = new ArrayList<>();
+    private final Map<String, Long> checkpoints = new HashMap<>();
+    private final Set<String> registered = new HashSet<>();
+    private final Set<String> rejected = new HashSet<>();
+    private final Object flushLock = new Object();
+    private final Thread flusher;
+
+    private int unflushed;
+    private boolean checkpointsDirty;
+    private boolean closed;
+
+    /**
+     * Opens the journal in the given directory, recovering existing segments and checkpoints,
+     * and starts the group-commit thread.
+     *
+     * @param directory the directory holding segment and checkpoint files
+     * @param segmentBytes the size of each new segment file
+     * @param flushIntervalMillis the maximum time between two flushes
+     * @param batchSize the number of appended events that triggers an early flush
+     * @param codec the codec used to store events
+     * @throws IOException if the journal files cannot be opened
+     */
+    public EventJournal(Path directory, int segmentBytes, long flushIntervalMillis,
+                        int batchSize, EventCodec codec) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.batchSize = batchSize;
+        this.codec = codec;
+
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Long> baseOffsets = files
+                    .filter(path -> path.getFileName().toString().endsWith(JournalSegment.SUFFIX))
+                    .map(JournalSegment::parseBaseOffset)
+                    .sorted()
+                    .toList();
+            for (long baseOffset : baseOffsets) {
+                segments.add(JournalSegment.open(directory, baseOffset, segmentBytes));
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.add(JournalSegment.open(directory, 0, segmentBytes));
+        }
+        loadCheckpoints();
+
+        System.out.println("[JOURNAL] Opened " + directory + " with " + segments.size()
+                + " segment(s), end offset " + activeSegment().endOffset());
+
+        flusher = new Thread(this::runFlusher, "event-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Encodes and appends an event.
+     *
+     * @param event the event to store
+     * @return the offset right after the stored record, to be passed to {@link #acknowledge}
+     * @throws IOException if the event cannot be encoded
+     */
+    public long append(Object event) throws IOException {
+        byte[] payload = codec.encode(event);
+        if (payload.length + JournalSegment.HEADER_BYTES > segmentBytes) {
+            throw new IllegalArgumentException("Event of " + payload.length
+                    + " bytes does not fit in a segment of " + segmentBytes + " bytes");
+        }
+        return appendPayload(payload);
+    }
+
+    private synchronized long appendPayload(byte[] payload) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Event journal is closed");
+        }
+        JournalSegment active = activeSegment();
+        if (!active.append(payload)) {
+            active.force();
+            active = JournalSegment.open(directory, active.endOffset(), segmentBytes);
+            segments.add(active);
+            active.append(payload);
+            System.out.println("[JOURNAL] Rolled to segment at offset " + active.baseOffset());
+        }
+        if (++unflushed >= batchSize) {
+            notifyAll();
+        }
+        return active.endOffset();
+    }
+
+    /**
+     * Records that the listener has processed every event up to the given offset.
+     *
+     * @param listenerId the stable identifier of the listener
+     * @param offset the offset returned by {@link #append} or passed to a replay handler
+     */
+    public synchronized void acknowledge(String listenerId, long offset) {
+        if (rejected.contains(listenerId)) {
+            return;
+        }
+        Long previous = checkpoints.get(listenerId);
+        if (previous == null || previous < offset) {
+            checkpoints.put(listenerId, offset);
+            checkpointsDirty = true;
+        }
+    }
+
+    /**
+     * Records that the listener failed to handle an event. Its checkpoint stays at the first
+     * event it did not acknowledge for the rest of this run; later acknowledgements are ignored.
+     *
+     * @param listenerId the stable identifier of the listener
+     */
+    public synchronized void reject(String listenerId) {
+        rejected.add(listenerId);
+    }
+
+    /**
+     * Returns the checkpoint of the given listener and marks it as registered in this run.
+     * A listener without a checkpoint is registered at the current end of the journal, so it
+     * skips all earlier events, and its checkpoint is persisted before this method returns.
+     *
+     * @param listenerId the stable identifier of the listener
+     * @return the offset from which the listener still has to process events
+     * @throws IOException if the checkpoint of a new listener cannot be persisted
+     */
+    public long checkpoint(String listenerId) throws IOException {
+        long checkpoint;
+        boolean added = false;
+        synchronized (this) {
+            registered.add(listenerId);
+            Long stored = checkpoints.get(listenerId);
+            if (stored == null) {
+                stored = activeSegment().endOffset();
+                checkpoints.put(listenerId, stored);
+                checkpointsDirty = true;
+                added = true;
+            }
+            checkpoint = stored;
+        }
+        if (added) {
+            flush();
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Decodes every event stored after the listener's checkpoint and hands it to the handler
+     * together with the offset right after it. A record that cannot be decoded is logged and
+     * acknowledged on the listener's behalf instead of aborting the replay. The replay stops
+     * once the handler {@link #reject rejects} an event.
+     *
+     * @param listenerId the stable identifier of the listener
+     * @param handler receives the end offset and the decoded event of each record
+     * @throws IOException if the checkpoint of a new listener cannot be persisted
+     */
+    public void replay(String listenerId, BiConsumer<Long, Object> handler) throws IOException {
+        long fromOffset = checkpoint(listenerId);
+        List<JournalSegment> snapshot;
+        List<Integer> limits = new ArrayList<>();
+        synchronized (this) {
+            snapshot = new ArrayList<>(segments);
+            for (JournalSegment segment : snapshot) {
+                limits.add(segment.position());
+            }
+        }
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            JournalSegment segment = snapshot.get(i);
+            int limit = limits.get(i);
+            long start = fromOffset - segment.baseOffset();
+            if (start >= limit) {
+                continue;
+            }
+            int position = (int) Math.max(0, start);
+            while (position < limit) {
+                byte[] payload = segment.read(position);
+                if (payload == null) {
+                    break;
+                }
+                position += JournalSegment.HEADER_BYTES + payload.length;
+                long offset = segment.baseOffset() + position;
+
+                Object event;
+                try {
+                    event = codec.decode(payload);
+                } catch (IOException e) {
+                    System.err.println("[JOURNAL] Skipping undecodable record ending at offset " + offset
+                            + " for " + listenerId + ": " + e.getMessage());
+                    acknowledge(listenerId, offset);
+                    continue;
+                }
+                handler.accept(offset, event);
+                if (isRejected(listenerId)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Forces the active segment to disk, persists the checkpoints and deletes the segments
+     * that every listener has fully acknowledged.
+     *
+     * @throws IOException if the checkpoints cannot be written
+     */
+    public void flush() throws IOException {
+        synchronized (flushLock) {
+            JournalSegment active;
+            boolean appended;
+            Properties snapshot = null;
+            synchronized (this) {
+                active = activeSegment();
+                appended = unflushed > 0;
+                unflushed = 0;
+                if (checkpointsDirty) {
+                    snapshot = new Properties();
+                    for (Map.Entry<String, Long> entry : checkpoints.entrySet()) {
+                        snapshot.setProperty(entry.getKey(), String.valueOf(entry.getValue()));
+                    }
+                    checkpointsDirty = false;
+                }
+            }
+
+            if (appended) {
+                active.force();
+            }
+            if (snapshot != null) {
+                writeCheckpoints(snapshot);
+                compact();
+            }
+        }
+    }
+
+    private synchronized boolean isRejected(String listenerId) {
+        return rejected.contains(listenerId);
+    }
+
+    private void compact() throws IOException {
+        List<JournalSegment> obsolete = new ArrayList<>();
+        synchronized (this) {
+            if (registered.isEmpty()) {
+                return;
+            }
+            long minCheckpoint = Long.MAX_VALUE;
+            for (String listenerId : registered) {
+                minCheckpoint = Math.min(minCheckpoint, checkpoints.get(listenerId));
+            }
+            while (segments.size() > 1 && segments.get(0).endOffset() <= minCheckpoint) {
+                obsolete.add(segments.remove(0));
+            }
+        }
+        for (JournalSegment segment : obsolete) {
+            segment.delete();
+            System.out.println("[JOURNAL] Compacted segment at offset " + segment.baseOffset());
+        }
+    }
+
+    private void runFlusher() {
+        while (true) {
+            synchronized (this) {
+                if (!closed && unflushed < batchSize) {
+                    try {
+                        wait(flushIntervalMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (closed) {
+                    return;
+                }
+            }
+            try {
+                flush();
+            } catch (IOException e) {
+                System.err.println("[JOURNAL] Flush failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void loadCheckpoints() throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return;
+        }
+        Properties stored = new Properties();
+        try (InputStream input = Files.newInputStream(file)) {
+            stored.load(input);
+        }
+        for (String listenerId : stored.stringPropertyNames()) {
+            checkpoints.put(listenerId, Long.parseLong(stored.getProperty(listenerId)));
+        }
+    }
+
+    private void writeCheckpoints(Properties snapshot) throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try (OutputStream output = Files.newOutputStream(temp)) {
+            snapshot.store(output, "Event journal listener checkpoints");
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private JournalSegment activeSegment() {
+        return segments.get(segments.size() - 1);
+    }
+
+    /**
+     * Stops the group-commit thread, performs a final flush and releases the segment files.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            checkpointsDirty = true;
+        }
+        flush();
+        for (JournalSegment segment : segments) {
+            segment.close();
+        }
+        System.out.println("[JOURNAL] Closed " + directory);
+    }
+}
@@ -0,0 +1,28 @@
+package org.myprojecticaro.events.journal;
+
+import java.io.*;
+
+/**
+ * Default {@link EventCodec} based on standard Java serialization.
+ * Events must implement {@link Serializable}.
+ */
+public class JavaSerializationCodec implements EventCodec {
+
+    @Override
+    public byte[] encode(Object event) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(event);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public Object decode(byte[] payload) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+            return in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Unknown event class in journal", e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package org.myprojecticaro.events.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * A single memory-mapped, append-only file of the {@link EventJournal}.
+ * <p>
+ * Each record is laid out as {@code [int length][int crc32][payload]}. A zero length marks
+ * the end of the written area; a record with a bad checksum is treated as a torn write and
+ * ends recovery. Writes land in the page cache as soon as they are copied into the mapping,
+ * so they survive a process crash even before {@link #force()} is called.
+ * </p>
+ */
+final class JournalSegment {
+
+    static final int HEADER_BYTES = 8;
+    static final String SUFFIX = ".log";
+
+    private final Path path;
+    private final long baseOffset;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private int position;
+
+    private JournalSegment(Path path, long baseOffset, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.baseOffset = baseOffset;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Maps the segment file starting at the given logical offset, creating it if needed,
+     * and recovers the write position from its existing records.
+     *
+     * @param directory the journal directory
+     * @param baseOffset the logical offset of the first byte of the segment
+     * @param size the size to map for a new file; existing files keep their own size
+     * @return the opened segment
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    static JournalSegment open(Path directory, long baseOffset, int size) throws IOException {
+        Path path = directory.resolve(String.format("%020d", baseOffset) + SUFFIX);
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long mappedSize = channel.size() > 0 ? channel.size() : size;
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, mappedSize);
+
+        JournalSegment segment = new JournalSegment(path, baseOffset, channel, buffer);
+        segment.recover();
+        return segment;
+    }
+
+    static long parseBaseOffset(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    private void recover() {
+        int offset = 0;
+        byte[] payload;
+        while ((payload = read(offset)) != null) {
+            offset += HEADER_BYTES + payload.length;
+        }
+        position = offset;
+    }
+
+    /**
+     * Appends one record.
+     *
+     * @param payload the encoded event
+     * @return {@code false} if the segment has no room left for the record
+     */
+    boolean append(byte[] payload) {
+        if (position + HEADER_BYTES + payload.length > buffer.capacity()) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        buffer.put(position + HEADER_BYTES, payload);
+        buffer.putInt(position + 4, (int) crc.getValue());
+        buffer.putInt(position, payload.length);
+        position += HEADER_BYTES + payload.length;
+        return true;
+    }
+
+    /**
+     * Reads the record starting at the given position within the segment.
+     *
+     * @param offset the position relative to the start of the segment
+     * @return the payload, or {@code null} at the end of the valid records
+     */
+    byte[] read(int offset) {
+        if (offset + HEADER_BYTES > buffer.capacity()) {
+            return null;
+        }
+        int length = buffer.getInt(offset);
+        if (length <= 0 || offset + HEADER_BYTES + length > buffer.capacity()) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        buffer.get(offset + HEADER_BYTES, payload);
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue() == buffer.getInt(offset + 4) ? payload : null;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    int position() {
+        return position;
+    }
+
+    long baseOffset() {
+        return baseOffset;
+    }
+
+    long endOffset() {
+        return baseOffset + position;
+    }
+}
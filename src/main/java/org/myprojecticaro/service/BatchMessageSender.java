@@ -0,0 +1,12 @@
+package org.myprojecticaro.service;
+
+import java.util.List;
+
+/**
+ * A {@link MessageSender} able to deliver several messages in a single downstream call.
+ * {@link BatchingMessageSender} hands whole batches to implementations of this interface
+ * and falls back to one {@link #send(String)} per message for plain senders.
+ */
+public interface BatchMessageSender extends MessageSender {
+    void send(List<String> messages);
+}
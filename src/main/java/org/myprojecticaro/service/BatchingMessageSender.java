@@ -0,0 +1,252 @@
+package org.myprojecticaro.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * {@code BatchingMessageSender} buffers messages in front of another {@link MessageSender}
+ * and delivers them from a background thread.
+ * <p>
+ * A batch is flushed once {@code batchSize} messages are pending or the oldest pending message
+ * has waited {@code maxDelayMillis}. A message already pending is coalesced instead of being
+ * queued twice. When {@code capacity} messages are pending, {@link #send(String)} blocks until
+ * the flusher drains the buffer. {@link #close()} delivers everything still pending.
+ * </p>
+ * <p>
+ * Plain senders are called once per message, so a failing message does not prevent the rest
+ * of the batch from being sent. When a {@link BatchMessageSender} fails, every message of the
+ * batch counts as failed. Failed messages are passed to the optional failure handler and kept
+ * until {@link #retryFailed()} queues them again. At most {@code capacity} failed messages are
+ * kept; beyond that the oldest are dropped and counted.
+ * </p>
+ * <p>
+ * Interrupting the flusher thread is treated like {@link #close()}: pending messages are
+ * still delivered, and blocked or later {@link #send(String)} calls fail instead of hanging.
+ * </p>
+ */
+public class BatchingMessageSender implements MessageSender, AutoCloseable {
+
+    private final MessageSender delegate;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final int capacity;
+    private final BiConsumer<String, RuntimeException> failureHandler;
+
+    // Pending messages in arrival order, mapped to the System.nanoTime() they were queued at.
+    private final Map<String, Long> buffer = new LinkedHashMap<>();
+    private final Deque<String> failedMessages = new ArrayDeque<>();
+    private final Thread flusher;
+
+    private boolean closed;
+    private long delivered;
+    private long failed;
+    private long droppedFailures;
+    private long batches;
+    private long coalesced;
+
+    public BatchingMessageSender(MessageSender delegate, int batchSize, long maxDelayMillis, int capacity) {
+        this(delegate, batchSize, maxDelayMillis, capacity, (message, error) -> { });
+    }
+
+    /**
+     * @param delegate the sender receiving the batches
+     * @param batchSize the number of pending messages that triggers a flush
+     * @param maxDelayMillis the longest a message waits before its batch is flushed
+     * @param capacity the number of pending messages at which {@link #send(String)} blocks
+     * @param failureHandler notified, from the flusher thread, of every message that failed
+     */
+    public BatchingMessageSender(MessageSender delegate, int batchSize, long maxDelayMillis, int capacity,
+                                 BiConsumer<String, RuntimeException> failureHandler) {
+        if (batchSize <= 0 || capacity < batchSize) {
+            throw new IllegalArgumentException("Expected 0 < batchSize <= capacity, got "
+                    + batchSize + " and " + capacity);
+        }
+        this.delegate = delegate;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.capacity = capacity;
+        this.failureHandler = failureHandler;
+
+        flusher = new Thread(this::runFlusher, "message-batch-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Queues a message for delivery, blocking while the buffer is full.
+     *
+     * @param message the message to send
+     */
+    @Override
+    public synchronized void send(String message) {
+        while (!buffer.containsKey(message) && buffer.size() >= capacity && !closed) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for buffer space", e);
+            }
+        }
+        if (closed) {
+            throw new IllegalStateException("BatchingMessageSender is closed");
+        }
+        if (buffer.putIfAbsent(message, System.nanoTime()) != null) {
+            coalesced++;
+            return;
+        }
+        if (buffer.size() >= batchSize || buffer.size() == 1) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Queues every message that failed so far for another delivery attempt.
+     */
+    public void retryFailed() {
+        List<String> retry;
+        synchronized (this) {
+            retry = new ArrayList<>(failedMessages);
+            failedMessages.clear();
+        }
+        retry.forEach(this::send);
+    }
+
+    /**
+     * @return the messages that failed and have not been retried yet
+     */
+    public synchronized List<String> getFailedMessages() {
+        return List.copyOf(failedMessages);
+    }
+
+    private void runFlusher() {
+        boolean interrupted = false;
+        while (true) {
+            List<String> batch;
+            synchronized (this) {
+                try {
+                    awaitBatch();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    closed = true;
+                    notifyAll();
+                    System.err.println("[BATCH] Flusher interrupted, closing after draining "
+                            + buffer.size() + " pending message(s)");
+                }
+                if (buffer.isEmpty()) {
+                    if (interrupted) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return;
+                }
+                batch = drain();
+                notifyAll();
+            }
+            dispatch(batch);
+        }
+    }
+
+    /**
+     * Waits until a full batch is pending, the oldest pending message is due, or the sender
+     * is closed. Must be called while holding the monitor.
+     */
+    private void awaitBatch() throws InterruptedException {
+        while (buffer.size() < batchSize && !closed) {
+            if (buffer.isEmpty()) {
+                wait();
+            } else {
+                long oldestPendingAt = buffer.values().iterator().next();
+                long remaining = maxDelayNanos - (System.nanoTime() - oldestPendingAt);
+                if (remaining <= 0) {
+                    return;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+        }
+    }
+
+    private List<String> drain() {
+        List<String> batch = new ArrayList<>(Math.min(batchSize, buffer.size()));
+        Iterator<String> pending = buffer.keySet().iterator();
+        while (pending.hasNext() && batch.size() < batchSize) {
+            batch.add(pending.next());
+            pending.remove();
+        }
+        return batch;
+    }
+
+    private void dispatch(List<String> batch) {
+        if (delegate instanceof BatchMessageSender batchSender) {
+            try {
+                batchSender.send(batch);
+                recordDelivered(batch.size());
+            } catch (RuntimeException e) {
+                batch.forEach(message -> recordFailure(message, e));
+            }
+        } else {
+            int sent = 0;
+            for (String message : batch) {
+                try {
+                    delegate.send(message);
+                    sent++;
+                } catch (RuntimeException e) {
+                    recordFailure(message, e);
+                }
+            }
+            recordDelivered(sent);
+        }
+    }
+
+    private synchronized void recordDelivered(int count) {
+        delivered += count;
+        batches++;
+    }
+
+    private void recordFailure(String message, RuntimeException error) {
+        synchronized (this) {
+            failed++;
+            if (failedMessages.size() >= capacity) {
+                failedMessages.removeFirst();
+                droppedFailures++;
+            }
+            failedMessages.addLast(message);
+        }
+        System.err.println("[BATCH] Failed to deliver '" + message + "': " + error.getMessage());
+        try {
+            failureHandler.accept(message, error);
+        } catch (RuntimeException e) {
+            System.err.println("[BATCH] Failure handler threw: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops accepting messages and blocks until every pending message has been dispatched.
+     * Messages that failed remain available through {@link #getFailedMessages()}.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            System.out.println("[BATCH] Delivered " + delivered + " message(s) in " + batches
+                    + " batch(es) to " + delegate.getClass().getSimpleName() + ", failed " + failed
+                    + " (" + droppedFailures + " dropped), coalesced " + coalesced);
+        }
+    }
+}
@@ -2,10 +2,17 @@ package org.myprojecticaro.service;
 
 import org.myprojecticaro.annotations.Component;
 
+import java.util.List;
+
 @Component("email")
-public class EmailMessageService implements MessageSender {
+public class EmailMessageService implements BatchMessageSender {
     @Override
     public void send(String message) {
         System.out.println("Sending EMAIL: " + message);
     }
-}
\ No newline at end of file
+
+    @Override
+    public void send(List<String> messages) {
+        System.out.println("Sending EMAIL batch of " + messages.size() + ": " + messages);
+    }
+}
@@ -0,0 +1,59 @@
+package org.myprojecticaro.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code InMemoryMessageSender} is an offline stand-in for a remote message provider.
+ * <p>
+ * Every call, single or batched, sleeps for the configured latency to simulate the
+ * provider's round trip, then records the messages. Comparing {@link #getCalls()} and
+ * elapsed time with and without a {@link BatchingMessageSender} in front shows the
+ * throughput gained by batching.
+ * </p>
+ */
+public class InMemoryMessageSender implements BatchMessageSender {
+
+    private final long latencyMillis;
+    private final List<String> sentMessages = new ArrayList<>();
+    private int calls;
+
+    public InMemoryMessageSender(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public void send(String message) {
+        send(List.of(message));
+    }
+
+    @Override
+    public void send(List<String> messages) {
+        simulateLatency();
+        synchronized (this) {
+            sentMessages.addAll(messages);
+            calls++;
+        }
+    }
+
+    private void simulateLatency() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while simulating provider latency", e);
+        }
+    }
+
+    public synchronized List<String> getSentMessages() {
+        return List.copyOf(sentMessages);
+    }
+
+    public synchronized int getCalls() {
+        return calls;
+    }
+}
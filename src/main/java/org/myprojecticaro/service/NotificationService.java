@@ -1,9 +1,12 @@
 package org.myprojecticaro.service;
 
-import org.myprojecticaro.annotations.Autowired;
-import org.myprojecticaro.annotations.Component;
-import org.myprojecticaro.annotations.Qualifier;
+import org.myprojecticaro.annotations.*;
 
+/**
+ * {@code NotificationService} sends user notifications through the {@code "sms"}
+ * {@link MessageSender}, wrapped in a {@link BatchingMessageSender} so that messages
+ * reach the provider in batches. Pending messages are delivered on shutdown.
+ */
 @Component
 public class NotificationService {
 
@@ -11,7 +14,28 @@ public class NotificationService {
     @Qualifier("sms")
     private MessageSender messageSender;
 
+    @Value("notification.batch.size")
+    private int batchSize;
+
+    @Value("notification.batch.max-delay-ms")
+    private int batchMaxDelayMs;
+
+    @Value("notification.batch.capacity")
+    private int batchCapacity;
+
+    private BatchingMessageSender batchingSender;
+
+    @PostConstruct
+    public void initBatching() {
+        batchingSender = new BatchingMessageSender(messageSender, batchSize, batchMaxDelayMs, batchCapacity);
+    }
+
     public void notifyUser(String text) {
-        messageSender.send(text);
+        batchingSender.send(text);
+    }
+
+    @PreDestroy
+    public void flushPending() {
+        batchingSender.close();
     }
-}
\ No newline at end of file
+}
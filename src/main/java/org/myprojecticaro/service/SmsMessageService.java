@@ -2,10 +2,17 @@ package org.myprojecticaro.service;
 
 import org.myprojecticaro.annotations.Component;
 
+import java.util.List;
+
 @Component("sms")
-public class SmsMessageService implements MessageSender {
+public class SmsMessageService implements BatchMessageSender {
     @Override
     public void send(String message) {
         System.out.println("[QUALIFIER] Sending SMS: " + message);
     }
-}
\ No newline at end of file
+
+    @Override
+    public void send(List<String> messages) {
+        System.out.println("[QUALIFIER] Sending SMS batch of " + messages.size() + ": " + messages);
+    }
+}
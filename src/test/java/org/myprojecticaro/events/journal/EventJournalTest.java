@@ -0,0 +1,170 @@
+package org.myprojecticaro.events.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A "crash" is simulated by abandoning a journal without closing it: its flusher never runs
+ * (one-hour interval, huge batch size), so only what was written to the mapped segments and
+ * explicitly flushed is visible to the journal reopened on the same directory.
+ */
+class EventJournalTest {
+
+    private static final long NEVER = 3_600_000;
+
+    @TempDir
+    Path directory;
+
+    private EventJournal open(int segmentBytes) throws IOException {
+        return new EventJournal(directory, segmentBytes, NEVER, Integer.MAX_VALUE, new JavaSerializationCodec());
+    }
+
+    private static List<Object> replayAll(EventJournal journal, String listenerId) throws IOException {
+        List<Object> events = new ArrayList<>();
+        journal.replay(listenerId, (offset, event) -> {
+            events.add(event);
+            journal.acknowledge(listenerId, offset);
+        });
+        return events;
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(JournalSegment.SUFFIX)).count();
+        }
+    }
+
+    @Test
+    void newListenerCheckpointSurvivesCrashBeforeFirstFlush() throws IOException {
+        EventJournal crashed = open(1 << 16);
+        crashed.checkpoint("L");
+        for (int i = 0; i < 5; i++) {
+            crashed.append("e" + i);
+        }
+
+        EventJournal restarted = open(1 << 16);
+        assertEquals(List.of("e0", "e1", "e2", "e3", "e4"), replayAll(restarted, "L"));
+        restarted.close();
+    }
+
+    @Test
+    void newListenerSkipsEventsPublishedBeforeItRegistered() throws IOException {
+        EventJournal journal = open(1 << 16);
+        journal.checkpoint("OLD");
+        journal.append("history");
+
+        assertEquals(List.of(), replayAll(journal, "NEW"));
+        journal.close();
+    }
+
+    @Test
+    void unacknowledgedEventsAreReplayedAfterCrash() throws IOException {
+        EventJournal crashed = open(1 << 16);
+        crashed.checkpoint("L");
+        for (int i = 0; i < 5; i++) {
+            long offset = crashed.append("e" + i);
+            if (i < 3) {
+                crashed.acknowledge("L", offset);
+            }
+        }
+        crashed.flush();
+
+        EventJournal restarted = open(1 << 16);
+        assertEquals(List.of("e3", "e4"), replayAll(restarted, "L"));
+        restarted.close();
+    }
+
+    @Test
+    void rejectedEventIsReplayedEvenAfterLaterAcknowledgements() throws IOException {
+        EventJournal crashed = open(1 << 16);
+        crashed.checkpoint("L");
+        crashed.acknowledge("L", crashed.append("e0"));
+        crashed.append("e1");
+        crashed.reject("L");
+        crashed.acknowledge("L", crashed.append("e2"));
+        crashed.flush();
+
+        EventJournal restarted = open(1 << 16);
+        assertEquals(List.of("e1", "e2"), replayAll(restarted, "L"));
+        restarted.close();
+    }
+
+    @Test
+    void segmentsRollAndAcknowledgedSegmentsAreCompacted() throws IOException {
+        EventJournal journal = open(512);
+        journal.checkpoint("L");
+        List<Long> offsets = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            offsets.add(journal.append("event-" + i));
+        }
+        journal.flush();
+        assertTrue(segmentCount() > 1, "expected the journal to roll over");
+
+        journal.acknowledge("L", offsets.get(offsets.size() - 1));
+        journal.flush();
+        assertEquals(1, segmentCount());
+        journal.close();
+
+        EventJournal reopened = open(512);
+        assertEquals(List.of(), replayAll(reopened, "L"));
+        reopened.close();
+    }
+
+    @Test
+    void checkpointOfListenerThatNoLongerRegistersDoesNotBlockCompaction() throws IOException {
+        EventJournal previousRun = open(512);
+        previousRun.checkpoint("REMOVED");
+        previousRun.checkpoint("L");
+        previousRun.close();
+
+        EventJournal journal = open(512);
+        journal.checkpoint("L");
+        long last = 0;
+        for (int i = 0; i < 50; i++) {
+            last = journal.append("event-" + i);
+        }
+        journal.acknowledge("L", last);
+        journal.flush();
+        assertEquals(1, segmentCount());
+        journal.close();
+    }
+
+    @Test
+    void undecodableRecordIsSkippedAndAcknowledged() throws IOException {
+        EventJournal writer = open(1 << 16);
+        writer.checkpoint("L");
+        writer.append("ok-1");
+        writer.append("broken");
+        writer.append("ok-2");
+        writer.close();
+
+        JavaSerializationCodec delegate = new JavaSerializationCodec();
+        EventCodec failing = new EventCodec() {
+            @Override
+            public byte[] encode(Object event) throws IOException {
+                return delegate.encode(event);
+            }
+
+            @Override
+            public Object decode(byte[] payload) throws IOException {
+                Object event = delegate.decode(payload);
+                if ("broken".equals(event)) {
+                    throw new java.io.InvalidClassException("incompatible");
+                }
+                return event;
+            }
+        };
+        EventJournal reader = new EventJournal(directory, 1 << 16, NEVER, Integer.MAX_VALUE, failing);
+        assertEquals(List.of("ok-1", "ok-2"), replayAll(reader, "L"));
+        reader.close();
+    }
+}
@@ -0,0 +1,76 @@
+package org.myprojecticaro.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchingMessageSenderTest {
+
+    @Test
+    void deliversWholeBatchesToBatchCapableSenders() {
+        InMemoryMessageSender provider = new InMemoryMessageSender(0);
+        try (BatchingMessageSender sender = new BatchingMessageSender(provider, 10, 1_000, 100)) {
+            for (int i = 0; i < 30; i++) {
+                sender.send("user-" + i);
+            }
+        }
+        assertEquals(30, provider.getSentMessages().size());
+        assertEquals(3, provider.getCalls());
+    }
+
+    @Test
+    void failingMessageDoesNotDropTheRestOfItsBatch() {
+        List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+        List<String> reported = Collections.synchronizedList(new ArrayList<>());
+        MessageSender plain = message -> {
+            if (message.equals("b")) {
+                throw new IllegalStateException("provider rejected b");
+            }
+            delivered.add(message);
+        };
+
+        BatchingMessageSender sender = new BatchingMessageSender(plain, 10, 1_000, 100,
+                (message, error) -> reported.add(message));
+        sender.send("a");
+        sender.send("b");
+        sender.send("c");
+        sender.close();
+
+        assertEquals(List.of("a", "c"), delivered);
+        assertEquals(List.of("b"), reported);
+        assertEquals(List.of("b"), sender.getFailedMessages());
+    }
+
+    @Test
+    void keepsAtMostCapacityFailedMessages() {
+        MessageSender down = message -> {
+            throw new IllegalStateException("provider down");
+        };
+        BatchingMessageSender sender = new BatchingMessageSender(down, 5, 1_000, 5);
+        for (int i = 0; i < 20; i++) {
+            sender.send("m" + i);
+        }
+        sender.close();
+
+        assertEquals(List.of("m15", "m16", "m17", "m18", "m19"), sender.getFailedMessages());
+    }
+
+    @Test
+    void interruptedFlusherClosesInsteadOfBlockingSenders() throws InterruptedException {
+        BatchingMessageSender sender = new BatchingMessageSender(new InMemoryMessageSender(0), 10, 60_000, 10);
+        Thread flusher = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("message-batch-flusher") && thread.isAlive())
+                .findFirst()
+                .orElseThrow();
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertFalse(flusher.isAlive());
+        assertThrows(IllegalStateException.class, () -> sender.send("late"));
+    }
+}